@@ -18,22 +18,31 @@ package net.seidengarn.keepasshttp.client;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
-import net.seidengarn.json.JSONParser;
+import net.seidengarn.keepasshttp.client.codec.DefaultKeePassHttpCodec;
+import net.seidengarn.keepasshttp.client.codec.KeePassHttpCodec;
+import net.seidengarn.keepasshttp.client.codec.KeePassHttpEntry;
+import net.seidengarn.keepasshttp.client.codec.KeePassHttpRequest;
+import net.seidengarn.keepasshttp.client.codec.KeePassHttpResponse;
+import net.seidengarn.keepasshttp.client.codec.StoredKey;
 import net.seidengarn.keepasshttp.client.exception.EncryptionException;
 import net.seidengarn.keepasshttp.client.exception.KeePassHttpCommunicationException;
 import net.seidengarn.keepasshttp.client.exception.KeePassHttpException;
 import net.seidengarn.keepasshttp.client.exception.KeePassHttpNotAssociatedException;
+import net.seidengarn.keepasshttp.client.transport.HttpClientTransport;
+import net.seidengarn.keepasshttp.client.transport.KeePassHttpTransport;
+import net.seidengarn.keepasshttp.client.transport.TransportResponse;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.RandomUtils;
@@ -47,10 +56,15 @@ import org.apache.commons.lang3.RandomUtils;
 public class KeePassHttpConnector {
 
     private static final Logger LOG = Logger.getLogger(KeePassHttpConnector.class.getName());
+    private static final String WARM_UP_KEY = "AAAAAAAAAAAAAAAAAAAAAA==";
+    private static final String WARM_UP_RESPONSE = "{\"RequestType\":\"test-associate\",\"Success\":true,\"Id\":\"\","
+            + "\"Nonce\":\"\",\"Verifier\":\"\",\"Entries\":[{\"Name\":\"\",\"Login\":\"\",\"Password\":\"\"}]}";
     private int port = 19455;
     private final File keyFile;
     private String id;
     private String key;
+    private volatile KeePassHttpCodec codec = CodecHolder.CODEC;
+    private volatile KeePassHttpTransport transport;
 
     /**
      * Constructor tries to load the stored key and id
@@ -82,6 +96,38 @@ public class KeePassHttpConnector {
         this.keyFile = null;
     }
 
+    /**
+     * Constructor with a predefined id a key on a non-default port, both will not be stored
+     *
+     * @param port port running KeePassHttp-Plugin
+     * @param id   Identifier for the client authenticated by the key as configured in the KeepassDatabase
+     * @param key  AES-Key
+     */
+    public KeePassHttpConnector(int port, String id, String key) {
+        this(id, key);
+        this.port = port;
+    }
+
+    /**
+     * Replaces the codec used to serialize requests and parse responses. The key-file is always read in the constructor
+     * with the codec registered as service or the DefaultKeePassHttpCodec.
+     *
+     * @param codec codec for the communication with KeePassHttp
+     */
+    public void setCodec(KeePassHttpCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Replaces the transport used to send the requests, by default a HttpClientTransport to localhost on the configured
+     * port is used. The caller remains responsible for closing the transport.
+     *
+     * @param transport transport for the communication with KeePassHttp
+     */
+    public void setTransport(KeePassHttpTransport transport) {
+        this.transport = transport;
+    }
+
     /**
      * Gets a list of logins available for the specified URL
      *
@@ -90,7 +136,6 @@ public class KeePassHttpConnector {
      * @return a List of KeePassLogin with 0 elements if no matching login was found
      * @throws KeePassHttpException exception during communication
      */
-    @SuppressWarnings("unchecked")
     public List<KeePassLogin> getLogins(String url, String submitUrl) throws KeePassHttpException {
         try {
             try {
@@ -109,30 +154,24 @@ public class KeePassHttpConnector {
 
             String iv = generateIv();
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("RequestType", "get-logins");
-            map.put("Id", id);
-            map.put("Nonce", iv);
-            map.put("Verifier", Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(iv, iv, key)));
-            map.put("Url", Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(url, iv, key)));
-            map.put("SubmitUrl", Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(submitUrl, iv, key)));
+            KeePassHttpRequest request = new KeePassHttpRequest();
+            request.setRequestType("get-logins");
+            request.setId(id);
+            request.setNonce(iv);
+            request.setVerifier(Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(iv, iv, key)));
+            request.setUrl(Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(url, iv, key)));
+            request.setSubmitUrl(Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(submitUrl, iv, key)));
 
-            map = communicate(map);
+            KeePassHttpResponse response = communicate(request);
 
-            iv = (String) map.get("Nonce");
+            iv = response.getNonce();
             List<KeePassLogin> loginList = new ArrayList<>();
 
-            List<Object> entries = (List<Object>) map.get("Entries");
-            for (Object entryObject : entries) {
-                Map<String, Object> entryMap = (Map<String, Object>) entryObject;
-
+            for (KeePassHttpEntry entry : response.getEntries()) {
                 KeePassLogin login = new KeePassLogin();
-                login.setName(EncryptionUtil.decrypt(Base64.getDecoder().decode((String) entryMap.get("Name")), iv,
-                        key));
-                login.setLogin(EncryptionUtil.decrypt(Base64.getDecoder().decode((String) entryMap.get("Login")), iv,
-                        key));
-                login.setPassword(EncryptionUtil.decrypt(
-                        Base64.getDecoder().decode((String) entryMap.get("Password")), iv, key));
+                login.setName(EncryptionUtil.decrypt(Base64.getDecoder().decode(entry.getName()), iv, key));
+                login.setLogin(EncryptionUtil.decrypt(Base64.getDecoder().decode(entry.getLogin()), iv, key));
+                login.setPassword(EncryptionUtil.decrypt(Base64.getDecoder().decode(entry.getPassword()), iv, key));
 
                 loginList.add(login);
             }
@@ -159,17 +198,82 @@ public class KeePassHttpConnector {
         else return logins.get(0);
     }
 
-        /**
-         * Load the key (and id) from the filesystem
-         */
-    @SuppressWarnings("unchecked")
+    /**
+     * Does the work which otherwise slows down the first request in a JVM: loading the classes, looking up the JCE
+     * provider for AES, seeding the SecureRandom and initializing the codec. The phases run in parallel and failures
+     * are only logged, so this can be called from a static initializer or an application-startup hook.
+     *
+     * @return durations of the phases crypto, secure-random and codec
+     */
+    public static WarmUpReport warmUpJvm() {
+        long start = System.nanoTime();
+        WarmUpReport report = new WarmUpReport();
+        joinPhases(startJvmPhases(null), report);
+        report.setTotal(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Warms up the JVM like {@link #warmUpJvm()} and connects to KeePassHttp like {@link #preconnect()} in parallel
+     *
+     * @return durations of all phases
+     * @throws KeePassHttpException exception during communication
+     */
+    public WarmUpReport warmUp() throws KeePassHttpException {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Duration>> jvmPhases = startJvmPhases(codec);
+        WarmUpReport report = new WarmUpReport();
+        WarmUpReport connectReport;
+        try {
+            connectReport = preconnect();
+        } finally {
+            joinPhases(jvmPhases, report);
+        }
+        report.addPhases(connectReport);
+        report.setTotal(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Prepares the transport and sends a test-associate, so the connection to KeePassHttp is open before the first
+     * request. Without a key and id the test-associate is skipped, the association is done by the first request.
+     *
+     * @return durations of the phases transport and test-associate
+     * @throws KeePassHttpException exception during communication
+     */
+    public WarmUpReport preconnect() throws KeePassHttpException {
+        long start = System.nanoTime();
+        WarmUpReport report = new WarmUpReport();
+        try {
+            transport().connect();
+        } catch (IOException e) {
+            throw new KeePassHttpCommunicationException("Communication with KeePass failed", e);
+        }
+        long created = System.nanoTime();
+        report.addPhase("transport", Duration.ofNanos(created - start));
+
+        if (id != null && key != null) {
+            try {
+                testAssociate();
+            } catch (KeePassHttpNotAssociatedException e) {
+                LOG.info("KeePass is not associated, association is done by the first request");
+            }
+            report.addPhase("test-associate", Duration.ofNanos(System.nanoTime() - created));
+        }
+        report.setTotal(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Load the key (and id) from the filesystem
+     */
     private void loadKey() {
         if (keyFile != null) {
             try {
                 String data = FileUtils.readFileToString(keyFile, StandardCharsets.UTF_8);
-                Map<String, Object> map = (Map<String, Object>) JSONParser.parse(data);
-                id = (String) map.get("Id");
-                key = (String) map.get("Key");
+                StoredKey storedKey = codec.decodeStoredKey(data);
+                id = storedKey.getId();
+                key = storedKey.getKey();
             } catch (IOException e) {
                 LOG.warning("key could not be loaded");
             }
@@ -182,10 +286,10 @@ public class KeePassHttpConnector {
     private void storeKey() throws KeePassHttpException {
         if (keyFile != null) {
             try {
-                Map<String, Object> map = new HashMap<>();
-                map.put("Key", key);
-                map.put("Id", id);
-                String data = JSONParser.compose(map);
+                StoredKey storedKey = new StoredKey();
+                storedKey.setKey(key);
+                storedKey.setId(id);
+                String data = codec.encodeStoredKey(storedKey);
 
                 FileUtils.writeStringToFile(keyFile, data, StandardCharsets.UTF_8);
             } catch (IOException e) {
@@ -203,12 +307,12 @@ public class KeePassHttpConnector {
             String iv = generateIv();
             String verifier = Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(iv, iv, key));
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("RequestType", "test-associate");
-            map.put("Id", id);
-            map.put("Nonce", iv);
-            map.put("Verifier", verifier);
-            communicate(map);
+            KeePassHttpRequest request = new KeePassHttpRequest();
+            request.setRequestType("test-associate");
+            request.setId(id);
+            request.setNonce(iv);
+            request.setVerifier(verifier);
+            communicate(request);
         } catch (EncryptionException e) {
             throw new KeePassHttpCommunicationException("Communication with KeePass failed", e);
         }
@@ -217,44 +321,54 @@ public class KeePassHttpConnector {
     /**
      * Doing the communication with KeePass
      *
-     * @param map request map
-     * @return response map
+     * @param request request
+     * @return response
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> communicate(Map<String, Object> map) throws KeePassHttpCommunicationException,
+    private KeePassHttpResponse communicate(KeePassHttpRequest request) throws KeePassHttpCommunicationException,
             KeePassHttpNotAssociatedException {
-        Map<String, Object> responseMap;
+        KeePassHttpResponse response;
         try {
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest httpRequest = HttpRequest.newBuilder()
-                    .uri(URI.create("http://localhost:" + port))
-                    .POST(HttpRequest.BodyPublishers.ofString(JSONParser.compose(map)))
-                    .build();
-            HttpResponse<String> httpResponse = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-
-            if (httpResponse.statusCode() != 200) {
+            KeePassHttpCodec codec = this.codec;
+            // associate opens a confirmation dialog in KeePass, so it must not be sent twice
+            boolean idempotent = !"associate".equals(request.getRequestType());
+            TransportResponse transportResponse = transport().send(codec.encodeRequest(request), idempotent);
+
+            if (transportResponse.getStatusCode() != 200) {
                 throw new KeePassHttpCommunicationException("Communication with KeePass failed, http-return code is "
-                        + httpResponse.statusCode() + ", expected 200");
+                        + transportResponse.getStatusCode() + ", expected 200");
             }
 
-            responseMap = (Map<String, Object>) JSONParser.parse(httpResponse.body());
+            response = codec.decodeResponse(transportResponse.getBody());
 
-            if (responseMap == null || responseMap.get("Success") == null) {
+            if (response == null || response.getSuccess() == null) {
                 throw new KeePassHttpCommunicationException(
                         "Communication with KeePass failed, response from KeePassHttp is invalid");
             }
 
-            if (!responseMap.get("Success").equals("true")) {
+            if (!response.getSuccess()) {
                 throw new KeePassHttpNotAssociatedException(
                         "Communication with KeePass failed, client is not associated with KeePassHttp");
             }
         } catch (IOException | InterruptedException e) {
             throw new KeePassHttpCommunicationException("Communication with KeePass failed", e);
         }
-        return responseMap;
+        return response;
     }
 
-    private String generateIv() {
+    private KeePassHttpTransport transport() {
+        KeePassHttpTransport current = transport;
+        if (current == null) {
+            synchronized (this) {
+                if (transport == null) {
+                    transport = new HttpClientTransport(URI.create("http://localhost:" + port));
+                }
+                current = transport;
+            }
+        }
+        return current;
+    }
+
+    private static String generateIv() {
         byte[] ivArr = new byte[16];
         for (int i = 0; i < ivArr.length; i++) {
             ivArr[i] = (byte) RandomUtils.secure().randomInt();
@@ -271,18 +385,71 @@ public class KeePassHttpConnector {
             String iv = generateIv();
             String verifier = Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(iv, iv, key));
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("RequestType", "associate");
-            map.put("Key", key);
-            map.put("Nonce", iv);
-            map.put("Verifier", verifier);
+            KeePassHttpRequest request = new KeePassHttpRequest();
+            request.setRequestType("associate");
+            request.setKey(key);
+            request.setNonce(iv);
+            request.setVerifier(verifier);
 
-            map = communicate(map);
+            KeePassHttpResponse response = communicate(request);
 
-            id = (String) map.get("Id");
+            id = response.getId();
             storeKey();
         } catch (EncryptionException e) {
             throw new KeePassHttpCommunicationException("Communication with KeePass failed", e);
         }
     }
+
+    /**
+     * Loads the first codec registered as service, falls back to the DefaultKeePassHttpCodec
+     */
+    private static KeePassHttpCodec loadCodec() {
+        Iterator<KeePassHttpCodec> codecs = ServiceLoader.load(KeePassHttpCodec.class).iterator();
+        return codecs.hasNext() ? codecs.next() : new DefaultKeePassHttpCodec();
+    }
+
+    /**
+     * @param codec codec to warm up, null for the codec registered as service, which is then resolved in the codec-phase
+     */
+    private static Map<String, CompletableFuture<Duration>> startJvmPhases(KeePassHttpCodec codec) {
+        Map<String, CompletableFuture<Duration>> phases = new LinkedHashMap<>();
+        phases.put("crypto", runPhase("crypto", () -> EncryptionUtil.decrypt(
+                EncryptionUtil.encrypt(WARM_UP_KEY, WARM_UP_KEY, WARM_UP_KEY), WARM_UP_KEY, WARM_UP_KEY)));
+        phases.put("secure-random", runPhase("secure-random", () -> generateIv()));
+        phases.put("codec", runPhase("codec", () -> {
+            KeePassHttpRequest request = new KeePassHttpRequest();
+            request.setRequestType("test-associate");
+            KeePassHttpCodec warmUpCodec = codec != null ? codec : CodecHolder.CODEC;
+            warmUpCodec.encodeRequest(request);
+            warmUpCodec.decodeResponse(WARM_UP_RESPONSE);
+        }));
+        return phases;
+    }
+
+    private static CompletableFuture<Duration> runPhase(String name, WarmUpPhase phase) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                phase.run();
+            } catch (Exception e) {
+                LOG.warning("warm-up phase " + name + " failed: " + e);
+            }
+            return Duration.ofNanos(System.nanoTime() - start);
+        });
+    }
+
+    private static void joinPhases(Map<String, CompletableFuture<Duration>> phases, WarmUpReport report) {
+        phases.forEach((name, phase) -> report.addPhase(name, phase.join()));
+    }
+
+    /**
+     * Resolves the codec registered as service once per class loader
+     */
+    private static final class CodecHolder {
+        private static final KeePassHttpCodec CODEC = loadCodec();
+    }
+
+    private interface WarmUpPhase {
+        void run() throws Exception;
+    }
 }
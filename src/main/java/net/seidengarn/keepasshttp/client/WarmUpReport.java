@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * durations of the phases of a warm-up, see KeePassHttpConnector#warmUp()
+ *
+ * @author Ralf Seidengarn
+ */
+public class WarmUpReport {
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private Duration total = Duration.ZERO;
+
+    void addPhase(String name, Duration duration) {
+        phases.put(name, duration);
+    }
+
+    void addPhases(WarmUpReport report) {
+        phases.putAll(report.phases);
+    }
+
+    void setTotal(Duration total) {
+        this.total = total;
+    }
+
+    /**
+     * @return duration of every phase in the order they have been started, phases run in parallel so the sum may
+     *         exceed the total
+     */
+    public Map<String, Duration> getPhases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    /**
+     * @return wall-clock duration of the whole warm-up
+     */
+    public Duration getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("warm-up took ").append(total.toMillis()).append(" ms");
+        String separator = " (";
+        for (Map.Entry<String, Duration> phase : phases.entrySet()) {
+            sb.append(separator).append(phase.getKey()).append(' ').append(phase.getValue().toMillis()).append(" ms");
+            separator = ", ";
+        }
+        return phases.isEmpty() ? sb.toString() : sb.append(')').toString();
+    }
+}
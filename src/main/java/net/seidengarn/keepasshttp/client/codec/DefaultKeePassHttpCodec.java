@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default codec writing and reading the few fields used by KeePassHttp directly, without building a generic tree of
+ * maps and lists. Unknown fields are skipped.
+ *
+ * @author Ralf Seidengarn
+ */
+public class DefaultKeePassHttpCodec implements KeePassHttpCodec {
+
+    @Override
+    public String encodeRequest(KeePassHttpRequest request) {
+        JsonWriter writer = new JsonWriter(256);
+        writer.field("RequestType", request.getRequestType());
+        writer.field("Id", request.getId());
+        writer.field("Key", request.getKey());
+        writer.field("Nonce", request.getNonce());
+        writer.field("Verifier", request.getVerifier());
+        writer.field("Url", request.getUrl());
+        writer.field("SubmitUrl", request.getSubmitUrl());
+        return writer.close();
+    }
+
+    @Override
+    public KeePassHttpResponse decodeResponse(String json) throws IOException {
+        KeePassHttpResponse response = new KeePassHttpResponse();
+        JsonReader reader = new JsonReader(json);
+        reader.beginObject();
+        while (reader.hasNextField()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "RequestType":
+                    response.setRequestType(reader.nextString());
+                    break;
+                case "Success":
+                    response.setSuccess(reader.nextBoolean());
+                    break;
+                case "Error":
+                    response.setError(reader.nextString());
+                    break;
+                case "Id":
+                    response.setId(reader.nextString());
+                    break;
+                case "Nonce":
+                    response.setNonce(reader.nextString());
+                    break;
+                case "Verifier":
+                    response.setVerifier(reader.nextString());
+                    break;
+                case "Entries":
+                    response.setEntries(readEntries(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.end();
+        return response;
+    }
+
+    @Override
+    public String encodeStoredKey(StoredKey storedKey) {
+        JsonWriter writer = new JsonWriter(128);
+        writer.field("Key", storedKey.getKey());
+        writer.field("Id", storedKey.getId());
+        return writer.close();
+    }
+
+    @Override
+    public StoredKey decodeStoredKey(String json) throws IOException {
+        StoredKey storedKey = new StoredKey();
+        JsonReader reader = new JsonReader(json);
+        reader.beginObject();
+        while (reader.hasNextField()) {
+            String name = reader.nextName();
+            if ("Id".equals(name)) {
+                storedKey.setId(reader.nextString());
+            } else if ("Key".equals(name)) {
+                storedKey.setKey(reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.end();
+        return storedKey;
+    }
+
+    private List<KeePassHttpEntry> readEntries(JsonReader reader) throws IOException {
+        List<KeePassHttpEntry> entries = new ArrayList<>();
+        if (reader.nextNull()) {
+            return entries;
+        }
+        reader.beginArray();
+        while (reader.hasNextElement()) {
+            KeePassHttpEntry entry = new KeePassHttpEntry();
+            reader.beginObject();
+            while (reader.hasNextField()) {
+                String name = reader.nextName();
+                switch (name) {
+                    case "Name":
+                        entry.setName(reader.nextString());
+                        break;
+                    case "Login":
+                        entry.setLogin(reader.nextString());
+                        break;
+                    case "Password":
+                        entry.setPassword(reader.nextString());
+                        break;
+                    case "Uuid":
+                        entry.setUuid(reader.nextString());
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Writes a flat JSON object of string fields, null values are omitted
+     */
+    private static final class JsonWriter {
+        private final StringBuilder sb;
+
+        JsonWriter(int capacity) {
+            sb = new StringBuilder(capacity).append('{');
+        }
+
+        void field(String name, String value) {
+            if (value == null) {
+                return;
+            }
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            string(name);
+            sb.append(':');
+            string(value);
+        }
+
+        String close() {
+            return sb.append('}').toString();
+        }
+
+        private void string(String value) {
+            sb.append('"');
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\' || c < 0x20) {
+                    sb.append(value, start, i);
+                    switch (c) {
+                        case '"':
+                            sb.append("\\\"");
+                            break;
+                        case '\\':
+                            sb.append("\\\\");
+                            break;
+                        case '\n':
+                            sb.append("\\n");
+                            break;
+                        case '\r':
+                            sb.append("\\r");
+                            break;
+                        case '\t':
+                            sb.append("\\t");
+                            break;
+                        default:
+                            sb.append(String.format("\\u%04x", (int) c));
+                    }
+                    start = i + 1;
+                }
+            }
+            sb.append(value, start, value.length()).append('"');
+        }
+    }
+
+    /**
+     * Pull-reader over a JSON document held in a String
+     */
+    private static final class JsonReader {
+        private final String json;
+        private int pos;
+        private boolean first;
+
+        JsonReader(String json) throws IOException {
+            if (json == null) {
+                throw new IOException("JSON is null");
+            }
+            this.json = json;
+        }
+
+        void beginObject() throws IOException {
+            expect('{');
+            first = true;
+        }
+
+        void beginArray() throws IOException {
+            expect('[');
+            first = true;
+        }
+
+        /**
+         * @return true if another field follows in the current object, false if the object has been closed
+         */
+        boolean hasNextField() throws IOException {
+            return hasNext('}');
+        }
+
+        /**
+         * @return true if another element follows in the current array, false if the array has been closed
+         */
+        boolean hasNextElement() throws IOException {
+            return hasNext(']');
+        }
+
+        String nextName() throws IOException {
+            String name = readString();
+            expect(':');
+            return name;
+        }
+
+        /**
+         * @return the string value or null for a JSON null
+         */
+        String nextString() throws IOException {
+            if (nextNull()) {
+                return null;
+            }
+            return readString();
+        }
+
+        /**
+         * @return the boolean value, the strings "true" and "false" are accepted as well, null for a JSON null
+         */
+        Boolean nextBoolean() throws IOException {
+            char c = peek();
+            if (c == '"') {
+                return Boolean.valueOf(readString());
+            }
+            if (json.startsWith("true", pos)) {
+                pos += 4;
+                return Boolean.TRUE;
+            }
+            if (json.startsWith("false", pos)) {
+                pos += 5;
+                return Boolean.FALSE;
+            }
+            if (nextNull()) {
+                return null;
+            }
+            throw error("boolean expected");
+        }
+
+        /**
+         * Consumes a JSON null
+         *
+         * @return true if the next value was null
+         */
+        boolean nextNull() throws IOException {
+            peek();
+            if (json.startsWith("null", pos)) {
+                pos += 4;
+                return true;
+            }
+            return false;
+        }
+
+        void skipValue() throws IOException {
+            char c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '{') {
+                beginObject();
+                while (hasNextField()) {
+                    nextName();
+                    skipValue();
+                }
+            } else if (c == '[') {
+                beginArray();
+                while (hasNextElement()) {
+                    skipValue();
+                }
+            } else {
+                int start = pos;
+                while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                    pos++;
+                }
+                if (start == pos) {
+                    throw error("value expected");
+                }
+            }
+        }
+
+        void end() throws IOException {
+            skipWhitespace();
+            if (pos != json.length()) {
+                throw error("end of JSON expected");
+            }
+        }
+
+        private boolean hasNext(char close) throws IOException {
+            char c = peek();
+            if (c == close) {
+                pos++;
+                first = false;
+                return false;
+            }
+            if (first) {
+                first = false;
+            } else {
+                expect(',');
+            }
+            return true;
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            int start = pos;
+            for (int i = start; i < json.length(); i++) {
+                char c = json.charAt(i);
+                if (c == '"') {
+                    pos = i + 1;
+                    return json.substring(start, i);
+                }
+                if (c == '\\') {
+                    break;
+                }
+            }
+            StringBuilder sb = new StringBuilder();
+            while (pos < json.length()) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= json.length()) {
+                    break;
+                }
+                c = json.charAt(pos++);
+                switch (c) {
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > json.length()) {
+                            throw error("invalid unicode escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("invalid unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(c);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        private void expect(char expected) throws IOException {
+            if (peek() != expected) {
+                throw error("'" + expected + "' expected");
+            }
+            pos++;
+        }
+
+        private char peek() throws IOException {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw error("unexpected end of JSON");
+            }
+            return json.charAt(pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException("Invalid JSON at position " + pos + ": " + message);
+        }
+    }
+}
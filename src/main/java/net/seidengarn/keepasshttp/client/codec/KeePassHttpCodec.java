@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.codec;
+
+import java.io.IOException;
+
+/**
+ * Converts between the JSON used by KeePassHttp and the typed requests and responses. The KeePassHttpConnector uses
+ * the first implementation registered in META-INF/services/net.seidengarn.keepasshttp.client.codec.KeePassHttpCodec
+ * or the DefaultKeePassHttpCodec if there is none. Implementations must be thread-safe.
+ *
+ * @author Ralf Seidengarn
+ */
+public interface KeePassHttpCodec {
+
+    /**
+     * Serializes a request
+     *
+     * @param request request to KeePassHttp
+     * @return JSON
+     * @throws IOException request could not be serialized
+     */
+    String encodeRequest(KeePassHttpRequest request) throws IOException;
+
+    /**
+     * Parses a response
+     *
+     * @param json response from KeePassHttp
+     * @return response
+     * @throws IOException json is not a valid response
+     */
+    KeePassHttpResponse decodeResponse(String json) throws IOException;
+
+    /**
+     * Serializes the stored key
+     *
+     * @param storedKey id and key
+     * @return JSON
+     * @throws IOException key could not be serialized
+     */
+    String encodeStoredKey(StoredKey storedKey) throws IOException;
+
+    /**
+     * Parses the stored key
+     *
+     * @param json content of the key-file
+     * @return id and key
+     * @throws IOException json is not a valid key-file
+     */
+    StoredKey decodeStoredKey(String json) throws IOException;
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * response received from KeePassHttp, entries are still encrypted with the nonce of the response
+ *
+ * @author Ralf Seidengarn
+ */
+public class KeePassHttpResponse {
+    private String requestType;
+    private Boolean success;
+    private String error;
+    private String id;
+    private String nonce;
+    private String verifier;
+    private List<KeePassHttpEntry> entries = new ArrayList<>();
+
+    public String getRequestType() {
+        return requestType;
+    }
+
+    public void setRequestType(String requestType) {
+        this.requestType = requestType;
+    }
+
+    /**
+     * @return the success-flag of the response or null if the response didn't contain one
+     */
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(Boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNonce() {
+        return nonce;
+    }
+
+    public void setNonce(String nonce) {
+        this.nonce = nonce;
+    }
+
+    public String getVerifier() {
+        return verifier;
+    }
+
+    public void setVerifier(String verifier) {
+        this.verifier = verifier;
+    }
+
+    public List<KeePassHttpEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<KeePassHttpEntry> entries) {
+        this.entries = entries;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.transport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Default transport based on java.net.http.HttpClient
+ *
+ * @author Ralf Seidengarn
+ */
+public class HttpClientTransport implements KeePassHttpTransport {
+    private final URI uri;
+    private HttpClient httpClient;
+
+    /**
+     * Constructor
+     *
+     * @param uri URI of KeePassHttp, e.g. http://localhost:19455
+     */
+    public HttpClientTransport(URI uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * Sends a request, the HttpClient never sends a POST again so idempotent is ignored
+     */
+    @Override
+    public TransportResponse send(String body, boolean idempotent) throws IOException, InterruptedException {
+        HttpRequest httpRequest = HttpRequest.newBuilder()
+                .uri(uri)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> httpResponse = httpClient().send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        return new TransportResponse(httpResponse.statusCode(), httpResponse.body());
+    }
+
+    /**
+     * Creates the HttpClient, the connection itself is opened by the first request
+     */
+    @Override
+    public void connect() {
+        httpClient();
+    }
+
+    private synchronized HttpClient httpClient() {
+        if (httpClient == null) {
+            httpClient = HttpClient.newHttpClient();
+        }
+        return httpClient;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.transport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a request body to KeePassHttp and returns the response. The KeePassHttpConnector uses the HttpClientTransport
+ * unless another transport has been set. Implementations must be thread-safe.
+ *
+ * @author Ralf Seidengarn
+ */
+public interface KeePassHttpTransport extends AutoCloseable {
+
+    /**
+     * Sends a request
+     *
+     * @param body       JSON request
+     * @param idempotent true if the request may be sent again when the connection fails before any response arrived
+     * @return response
+     * @throws IOException          exception during communication
+     * @throws InterruptedException thread has been interrupted while waiting for the response
+     */
+    TransportResponse send(String body, boolean idempotent) throws IOException, InterruptedException;
+
+    /**
+     * Sends several requests, by default one after the other. Transports which support pipelining send all requests
+     * before reading the responses.
+     *
+     * @param bodies     JSON requests
+     * @param idempotent true if the requests may be sent again when the connection fails before any response arrived
+     * @return responses in the order of the requests
+     * @throws IOException          exception during communication
+     * @throws InterruptedException thread has been interrupted while waiting for the responses
+     */
+    default List<TransportResponse> sendAll(List<String> bodies, boolean idempotent) throws IOException,
+            InterruptedException {
+        List<TransportResponse> responses = new ArrayList<>(bodies.size());
+        for (String body : bodies) {
+            responses.add(send(body, idempotent));
+        }
+        return responses;
+    }
+
+    /**
+     * Prepares the transport before the first request, e.g. by opening the connection
+     *
+     * @throws IOException exception during communication
+     */
+    default void connect() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal HTTP/1.1 transport keeping one persistent connection open on a blocking SocketChannel. The direct buffers
+ * for reading and writing are reused for all requests and {@link #sendAll(List, boolean)} pipelines the requests. Besides TCP
+ * it works with a Unix domain socket (Java 16 or newer), e.g. a proxy forwarding to KeePassHttp, see
+ * {@link #unixDomain(Path, int)}.
+ * <p>
+ * A connection closed by the server while idle is reopened transparently. Idempotent requests are sent again if the
+ * connection fails before any byte of a response arrived, other requests fail with the IOException because the server
+ * may already have processed them. Requests pipelined behind a response with "Connection: close" are always sent
+ * again on a new connection, the server announced not to read them.
+ *
+ * @author Ralf Seidengarn
+ */
+public class SocketChannelTransport implements KeePassHttpTransport {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+    private static final int MAX_PIPELINED = 16;
+    private static final int MAX_RETAINED_BODY_SIZE = 256 * 1024;
+
+    private final SocketAddress address;
+    private final String host;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+    private byte[] body = new byte[BUFFER_SIZE];
+    private int bodyLength;
+    private SocketChannel channel;
+    private boolean received;
+
+    /**
+     * Constructor for KeePassHttp on the loopback interface
+     *
+     * @param port port running KeePassHttp-Plugin
+     */
+    public SocketChannelTransport(int port) {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), "localhost:" + port);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param address address of KeePassHttp, an InetSocketAddress or on Java 16 or newer an UnixDomainSocketAddress
+     * @param host    value of the Host-header, KeePassHttp only accepts localhost with its port
+     */
+    public SocketChannelTransport(SocketAddress address, String host) {
+        this.address = address;
+        this.host = host;
+        this.readBuffer.limit(0);
+    }
+
+    /**
+     * Creates a transport connecting to a Unix domain socket, requires Java 16 or newer
+     *
+     * @param path socket file, e.g. of a proxy forwarding to KeePassHttp
+     * @param port port of KeePassHttp behind the proxy, used for the Host-header
+     * @return transport
+     */
+    public static SocketChannelTransport unixDomain(Path path, int port) {
+        try {
+            Method of = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class);
+            return new SocketChannelTransport((SocketAddress) of.invoke(null, path), "localhost:" + port);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16 or newer", e);
+        }
+    }
+
+    @Override
+    public TransportResponse send(String body, boolean idempotent) throws IOException {
+        return sendAll(Collections.singletonList(body), idempotent).get(0);
+    }
+
+    @Override
+    public synchronized List<TransportResponse> sendAll(List<String> bodies, boolean idempotent)
+            throws IOException {
+        List<TransportResponse> responses = new ArrayList<>(bodies.size());
+        while (responses.size() < bodies.size()) {
+            boolean reused = channel != null;
+            ensureOpen();
+            received = false;
+            int end = Math.min(bodies.size(), responses.size() + MAX_PIPELINED);
+            List<String> pending = bodies.subList(responses.size(), end);
+            try {
+                write(pending);
+                // the server may close the connection after any response, the rest is sent again on a new one
+                for (int i = 0; i < pending.size() && channel != null; i++) {
+                    responses.add(readResponse());
+                }
+            } catch (IOException e) {
+                closeChannel();
+                if (!idempotent || !reused || received) {
+                    throw e;
+                }
+                // idle connection closed by the server before it answered, retry on a new connection
+            }
+        }
+        return responses;
+    }
+
+    @Override
+    public synchronized void connect() throws IOException {
+        ensureOpen();
+    }
+
+    @Override
+    public synchronized void close() {
+        closeChannel();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel == null) {
+            channel = SocketChannel.open(address);
+            if (address instanceof InetSocketAddress) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            readBuffer.clear().limit(0);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing to do, the connection is discarded anyway
+            }
+            channel = null;
+        }
+    }
+
+    private void write(List<String> bodies) throws IOException {
+        writeBuffer.clear();
+        for (String request : bodies) {
+            byte[] content = request.getBytes(StandardCharsets.UTF_8);
+            put(("POST / HTTP/1.1\r\nHost: " + host + "\r\nContent-Type: application/json; charset=utf-8\r\n"
+                    + "Content-Length: " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            put(content);
+        }
+        flush();
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int length = Math.min(writeBuffer.remaining(), bytes.length - offset);
+            writeBuffer.put(bytes, offset, length);
+            offset += length;
+            if (!writeBuffer.hasRemaining()) {
+                flush();
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    private TransportResponse readResponse() throws IOException {
+        String statusLine = readLine();
+        String[] status = statusLine.split(" ", 3);
+        if (status.length < 2 || !status[0].startsWith("HTTP/")) {
+            throw new IOException("Invalid status line from KeePassHttp: " + statusLine);
+        }
+        int statusCode;
+        try {
+            statusCode = Integer.parseInt(status[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid status line from KeePassHttp: " + statusLine, e);
+        }
+
+        long contentLength = -1;
+        boolean chunked = false;
+        boolean close = "HTTP/1.0".equals(status[0]);
+        for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+            int colon = header.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = header.substring(0, colon).trim();
+            String value = header.substring(colon + 1).trim().toLowerCase(Locale.ROOT);
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                try {
+                    contentLength = Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid Content-Length from KeePassHttp: " + value, e);
+                }
+            } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+                chunked = value.contains("chunked");
+            } else if ("Connection".equalsIgnoreCase(name)) {
+                close = value.contains("close") || (close && !value.contains("keep-alive"));
+            }
+        }
+
+        bodyLength = 0;
+        if (chunked) {
+            readChunkedBody();
+        } else if (contentLength >= 0) {
+            readBody(contentLength);
+        } else {
+            readBodyUntilEof();
+            close = true;
+        }
+        String content = new String(body, 0, bodyLength, StandardCharsets.UTF_8);
+        if (body.length > MAX_RETAINED_BODY_SIZE) {
+            // don't keep the buffer of a single large response for the lifetime of the connection
+            body = new byte[BUFFER_SIZE];
+        }
+        if (close) {
+            closeChannel();
+        }
+        return new TransportResponse(statusCode, content);
+    }
+
+    private void readChunkedBody() throws IOException {
+        while (true) {
+            String sizeLine = readLine();
+            int extension = sizeLine.indexOf(';');
+            long size;
+            try {
+                size = Long.parseLong((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid chunk size from KeePassHttp: " + sizeLine, e);
+            }
+            if (size == 0) {
+                // skip the trailers
+                while (!readLine().isEmpty()) {
+                    continue;
+                }
+                return;
+            }
+            readBody(size);
+            readLine();
+        }
+    }
+
+    private void readBody(long length) throws IOException {
+        if (bodyLength + length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Response from KeePassHttp is too large");
+        }
+        ensureBodyCapacity(bodyLength + (int) length);
+        int remaining = (int) length;
+        while (remaining > 0) {
+            if (!readBuffer.hasRemaining()) {
+                fill();
+            }
+            int count = Math.min(readBuffer.remaining(), remaining);
+            readBuffer.get(body, bodyLength, count);
+            bodyLength += count;
+            remaining -= count;
+        }
+    }
+
+    private void readBodyUntilEof() throws IOException {
+        while (true) {
+            int count = readBuffer.remaining();
+            ensureBodyCapacity(bodyLength + count);
+            readBuffer.get(body, bodyLength, count);
+            bodyLength += count;
+            readBuffer.clear();
+            int read = channel.read(readBuffer);
+            readBuffer.flip();
+            if (read < 0) {
+                return;
+            }
+        }
+    }
+
+    private String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (!readBuffer.hasRemaining()) {
+                fill();
+            }
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                if (length > 0 && line[length - 1] == '\r') {
+                    length--;
+                }
+                return new String(line, 0, length, StandardCharsets.ISO_8859_1);
+            }
+            if (length == line.length) {
+                throw new IOException("Line in response from KeePassHttp is too long");
+            }
+            line[length++] = b;
+        }
+    }
+
+    private void fill() throws IOException {
+        readBuffer.compact();
+        int read = channel.read(readBuffer);
+        readBuffer.flip();
+        if (read < 0) {
+            throw new EOFException("Connection closed by KeePassHttp");
+        }
+        received = true;
+    }
+
+    private void ensureBodyCapacity(int capacity) {
+        if (capacity > body.length) {
+            body = Arrays.copyOf(body, Math.max(capacity, body.length * 2));
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import net.seidengarn.json.JSONParser;
+import net.seidengarn.keepasshttp.client.exception.EncryptionException;
+
+/**
+ * Local stand-in for KeePass with the KeePassHttp-Plugin. It answers associate, test-associate and get-logins for a
+ * single client id and returns generated entries for every requested URL, so the connector can be driven without a
+ * running KeePass.
+ *
+ * @author Ralf Seidengarn
+ */
+public class FakeKeePassHttpServer implements AutoCloseable {
+
+   private static final String THREAD_NAME_PREFIX = "fake-keepasshttp-";
+
+   private final String id;
+   private final String key;
+   private final int entriesPerUrl;
+   private final HttpServer server;
+   private final ExecutorService executor;
+
+   /**
+    * Starts the server on an ephemeral loopback port
+    *
+    * @param id            client id accepted by the server
+    * @param key           AES-key shared with the client
+    * @param entriesPerUrl number of entries returned for every get-logins request
+    * @param threads       number of threads handling requests
+    * @throws IOException server socket could not be opened
+    */
+   public FakeKeePassHttpServer(String id, String key, int entriesPerUrl, int threads) throws IOException {
+      this.id = id;
+      this.key = key;
+      this.entriesPerUrl = entriesPerUrl;
+      AtomicInteger threadNumber = new AtomicInteger();
+      this.executor = Executors.newFixedThreadPool(threads,
+               r -> new Thread(r, THREAD_NAME_PREFIX + threadNumber.incrementAndGet()));
+      this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      this.server.createContext("/", this::handle);
+      this.server.setExecutor(executor);
+      this.server.start();
+   }
+
+   public int getPort() {
+      return server.getAddress().getPort();
+   }
+
+   /**
+    * Enables TCP_NODELAY, without it headers and body of small responses are delayed by Nagle's algorithm. The
+    * setting is global for the HttpServer of the JDK and only takes effect if called before the first server starts.
+    */
+   public static void enableNoDelay() {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+   }
+
+   /**
+    * @param thread any thread
+    * @return true if the thread belongs to a FakeKeePassHttpServer, including the dispatcher of the HttpServer
+    */
+   public static boolean isServerThread(Thread thread) {
+      return thread.getName().startsWith(THREAD_NAME_PREFIX) || thread.getName().startsWith("HTTP-Dispatcher");
+   }
+
+   @Override
+   public void close() {
+      server.stop(0);
+      executor.shutdownNow();
+   }
+
+   private void handle(HttpExchange exchange) throws IOException {
+      try (InputStream in = exchange.getRequestBody()) {
+         String request = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+         byte[] response = JSONParser.compose(respond(request)).getBytes(StandardCharsets.UTF_8);
+         exchange.getResponseHeaders().set("Content-Type", "application/json");
+         exchange.sendResponseHeaders(200, response.length);
+         try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+         }
+      } catch (EncryptionException | RuntimeException e) {
+         exchange.sendResponseHeaders(500, -1);
+      } finally {
+         exchange.close();
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private Map<String, Object> respond(String request) throws EncryptionException {
+      Map<String, Object> requestMap = (Map<String, Object>) JSONParser.parse(request);
+      String requestType = (String) requestMap.get("RequestType");
+
+      Map<String, Object> responseMap = new HashMap<>();
+      responseMap.put("RequestType", requestType);
+      if ("associate".equals(requestType)) {
+         responseMap.put("Success", "true");
+         responseMap.put("Id", id);
+         return responseMap;
+      }
+      if (!id.equals(requestMap.get("Id")) || !verify(requestMap)) {
+         responseMap.put("Success", "false");
+         return responseMap;
+      }
+
+      String iv = generateIv();
+      responseMap.put("Success", "true");
+      responseMap.put("Id", id);
+      responseMap.put("Nonce", iv);
+      responseMap.put("Verifier", encrypt(iv, iv));
+
+      if ("get-logins".equals(requestType)) {
+         String url = EncryptionUtil.decrypt(Base64.getDecoder().decode((String) requestMap.get("Url")),
+                  (String) requestMap.get("Nonce"), key);
+         List<Object> entries = new ArrayList<>();
+         for (int i = 0; i < entriesPerUrl; i++) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("Name", encrypt(url, iv));
+            entry.put("Login", encrypt("user" + i, iv));
+            entry.put("Password", encrypt("password" + i, iv));
+            entry.put("Uuid", encrypt(Integer.toHexString(url.hashCode()) + i, iv));
+            entries.add(entry);
+         }
+         responseMap.put("Count", String.valueOf(entries.size()));
+         responseMap.put("Entries", entries);
+      }
+      return responseMap;
+   }
+
+   private boolean verify(Map<String, Object> requestMap) throws EncryptionException {
+      String nonce = (String) requestMap.get("Nonce");
+      String verifier = (String) requestMap.get("Verifier");
+      return nonce != null && verifier != null
+               && nonce.equals(EncryptionUtil.decrypt(Base64.getDecoder().decode(verifier), nonce, key));
+   }
+
+   private String encrypt(String plainText, String iv) throws EncryptionException {
+      return Base64.getEncoder().encodeToString(EncryptionUtil.encrypt(plainText, iv, key));
+   }
+
+   private static String generateIv() {
+      byte[] ivArr = new byte[16];
+      ThreadLocalRandom.current().nextBytes(ivArr);
+      return Base64.getEncoder().encodeToString(ivArr);
+   }
+}
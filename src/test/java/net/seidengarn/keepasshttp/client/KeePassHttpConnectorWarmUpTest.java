@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.seidengarn.keepasshttp.client.exception.KeePassHttpException;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * test for the warm-up of the KeePassHttpConnector against the FakeKeePassHttpServer
+ *
+ * @author Ralf Seidengarn
+ */
+public class KeePassHttpConnectorWarmUpTest {
+
+   private static final String ID = "Test Key 128bit";
+   private static final String KEY = "QVFJREJBVUdCd2dKQ2dzTQ==";
+
+   @Test
+   public void testWarmUpJvm() {
+      WarmUpReport report = KeePassHttpConnector.warmUpJvm();
+      assertEquals("[crypto, secure-random, codec]", report.getPhases().keySet().toString());
+   }
+
+   @Test
+   public void testWarmUp() throws IOException, KeePassHttpException {
+      try (FakeKeePassHttpServer server = new FakeKeePassHttpServer(ID, KEY, 1, 1)) {
+         KeePassHttpConnector connector = new KeePassHttpConnector(server.getPort(), ID, KEY);
+
+         WarmUpReport report = connector.warmUp();
+         assertEquals("[crypto, secure-random, codec, transport, test-associate]",
+                  report.getPhases().keySet().toString());
+         assertTrue(report.getTotal().compareTo(report.getPhases().get("test-associate")) >= 0);
+
+         assertEquals(1, connector.getLogins("http://www.example.com/", null).size());
+      }
+   }
+
+   @Test
+   public void testPreconnectWithoutKey() throws KeePassHttpException {
+      KeePassHttpConnector connector = new KeePassHttpConnector(1, null, null);
+      assertEquals("[transport]", connector.preconnect().getPhases().keySet().toString());
+   }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator driving the KeePassHttpConnector at a fixed request rate. Latencies are measured from the
+ * scheduled start of every request, so a saturated connector shows up as queueing time instead of a lower request
+ * rate. Without --port a FakeKeePassHttpServer is started, with --port a running KeePass is used. The allocation is
+ * summed over all threads of the process except those of the FakeKeePassHttpServer, so work done on the threads of
+ * the HttpClient is included.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=net.seidengarn.keepasshttp.client.KeePassHttpLoadGenerator \
+ *     -Dexec.args="--rps=500 --concurrency=16 --duration=30 --urls=1000 --distribution=zipf"
+ * </pre>
+ *
+ * Options (defaults in brackets): --rps [200], --concurrency [8], --duration seconds [20], --warmup seconds [5],
+ * --urls number of distinct URLs [100], --distribution uniform|zipf [uniform], --entries entries per URL on the fake
+ * server [1], --nodelay TCP_NODELAY on the fake server [true], --port, --id and --key of a running KeePass.
+ *
+ * @author Ralf Seidengarn
+ */
+public class KeePassHttpLoadGenerator {
+
+   private static final String DEFAULT_ID = "Test Key 128bit";
+   private static final String DEFAULT_KEY = "QVFJREJBVUdCd2dKQ2dzTQ==";
+
+   private final KeePassHttpConnector connector;
+   private final int rps;
+   private final int concurrency;
+   private final int durationSeconds;
+   private final int warmupSeconds;
+   private final String[] urls;
+   private final double[] cumulativeWeights;
+   private final String nodelay;
+
+   private final long[] latencies;
+   private final AtomicInteger recorded = new AtomicInteger();
+   private final LongAdder completed = new LongAdder();
+   private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+   KeePassHttpLoadGenerator(KeePassHttpConnector connector, Map<String, String> options) {
+      this.connector = connector;
+      this.rps = positive(options, "rps", "200");
+      this.concurrency = positive(options, "concurrency", "8");
+      this.durationSeconds = positive(options, "duration", "20");
+      this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+      this.urls = new String[positive(options, "urls", "100")];
+      for (int i = 0; i < urls.length; i++) {
+         urls[i] = "http://host" + i + ".example.com/";
+      }
+      this.cumulativeWeights = weights(urls.length, options.getOrDefault("distribution", "uniform"));
+      this.latencies = new long[rps * durationSeconds + rps];
+      this.nodelay = options.containsKey("port") ? "external" : options.getOrDefault("nodelay", "true");
+   }
+
+   public static void main(String[] args) throws Exception {
+      Map<String, String> options = new HashMap<>();
+      for (String arg : args) {
+         String[] option = arg.replaceFirst("^--", "").split("=", 2);
+         options.put(option[0], option.length > 1 ? option[1] : "true");
+      }
+      String id = options.getOrDefault("id", DEFAULT_ID);
+      String key = options.getOrDefault("key", DEFAULT_KEY);
+
+      if (options.containsKey("port")) {
+         KeePassHttpConnector connector = new KeePassHttpConnector(Integer.parseInt(options.get("port")), id, key);
+         new KeePassHttpLoadGenerator(connector, options).run();
+      } else {
+         int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+         int entries = Integer.parseInt(options.getOrDefault("entries", "1"));
+         if (Boolean.parseBoolean(options.getOrDefault("nodelay", "true"))) {
+            FakeKeePassHttpServer.enableNoDelay();
+         }
+         try (FakeKeePassHttpServer server = new FakeKeePassHttpServer(id, key, entries, concurrency)) {
+            KeePassHttpConnector connector = new KeePassHttpConnector(server.getPort(), id, key);
+            new KeePassHttpLoadGenerator(connector, options).run();
+         }
+      }
+   }
+
+   void run() throws InterruptedException {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.SECONDS,
+               new LinkedBlockingQueue<>());
+      long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+      int requests = Math.toIntExact((long) rps * (warmupSeconds + durationSeconds));
+      CountDownLatch done = new CountDownLatch(requests);
+      long start = System.nanoTime();
+      long measureStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+      Map<Long, Long> allocatedBefore = null;
+
+      for (int i = 0; i < requests; i++) {
+         long scheduled = start + i * interval;
+         long delay;
+         while ((delay = scheduled - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(delay);
+         }
+         boolean measured = scheduled >= measureStart;
+         if (measured && allocatedBefore == null) {
+            allocatedBefore = allocatedBytes();
+         }
+         String url = nextUrl();
+         executor.execute(() -> {
+            try {
+               execute(url, scheduled, measured);
+            } finally {
+               done.countDown();
+            }
+         });
+      }
+      // measure before the shutdown, allocation of terminated worker threads can't be read anymore
+      done.await();
+      long measureEnd = System.nanoTime();
+      long allocated = allocatedSince(allocatedBefore);
+      executor.shutdown();
+
+      report(measureEnd - measureStart, allocated);
+   }
+
+   private void execute(String url, long scheduled, boolean measured) {
+      try {
+         connector.getLogins(url, null);
+         if (measured) {
+            record(System.nanoTime() - scheduled);
+         }
+      } catch (Exception e) {
+         if (measured) {
+            errors.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+         }
+      } finally {
+         if (measured) {
+            completed.increment();
+         }
+      }
+   }
+
+   private void record(long latency) {
+      int index = recorded.getAndIncrement();
+      if (index < latencies.length) {
+         latencies[index] = latency;
+      }
+   }
+
+   private String nextUrl() {
+      double r = ThreadLocalRandom.current().nextDouble();
+      int index = Arrays.binarySearch(cumulativeWeights, r);
+      return urls[Math.min(index < 0 ? -index - 1 : index, urls.length - 1)];
+   }
+
+   private void report(long measuredNanos, long allocatedBytes) {
+      int count = Math.min(recorded.get(), latencies.length);
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      double seconds = measuredNanos / 1e9;
+      long total = completed.sum();
+      long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+
+      System.out.printf("server.nodelay: %s%n", nodelay);
+      System.out.printf("target.rps: %d%n", rps);
+      System.out.printf("concurrency: %d%n", concurrency);
+      System.out.printf("requests: %d%n", total);
+      System.out.printf("throughput.rps: %.1f%n", total / seconds);
+      System.out.printf("latency.mean.ms: %.3f%n", Arrays.stream(sorted).average().orElse(0) / 1e6);
+      System.out.printf("latency.p50.ms: %.3f%n", percentile(sorted, 0.50));
+      System.out.printf("latency.p90.ms: %.3f%n", percentile(sorted, 0.90));
+      System.out.printf("latency.p99.ms: %.3f%n", percentile(sorted, 0.99));
+      System.out.printf("latency.p999.ms: %.3f%n", percentile(sorted, 0.999));
+      System.out.printf("latency.max.ms: %.3f%n", count == 0 ? 0 : sorted[count - 1] / 1e6);
+      System.out.printf("alloc.bytes.per.request: %d%n", total == 0 ? 0 : allocatedBytes / total);
+      System.out.printf("alloc.mb.per.second: %.1f%n", allocatedBytes / seconds / (1024 * 1024));
+      System.out.printf("errors: %d%n", errorCount);
+      new TreeMap<>(errors).forEach((type, n) -> System.out.printf("errors.%s: %d%n", type, n.sum()));
+   }
+
+   private static double percentile(long[] sorted, double percentile) {
+      if (sorted.length == 0) {
+         return 0;
+      }
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(index, 0)] / 1e6;
+   }
+
+   private static double[] weights(int n, String distribution) {
+      double[] weights = new double[n];
+      double sum = 0;
+      for (int i = 0; i < n; i++) {
+         sum += "zipf".equals(distribution) ? 1.0 / (i + 1) : 1.0;
+         weights[i] = sum;
+      }
+      for (int i = 0; i < n; i++) {
+         weights[i] /= sum;
+      }
+      return weights;
+   }
+
+   private static int positive(Map<String, String> options, String name, String defaultValue) {
+      int value = Integer.parseInt(options.getOrDefault(name, defaultValue));
+      if (value <= 0) {
+         throw new IllegalArgumentException("--" + name + " must be greater than 0");
+      }
+      return value;
+   }
+
+   /**
+    * @return allocated bytes by thread id of all live threads except the ones of the FakeKeePassHttpServer
+    */
+   private static Map<Long, Long> allocatedBytes() {
+      Map<Long, Long> allocated = new HashMap<>();
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+         return allocated;
+      }
+      Set<Thread> threads = Thread.getAllStackTraces().keySet();
+      long[] ids = threads.stream().filter(t -> !FakeKeePassHttpServer.isServerThread(t)).mapToLong(Thread::getId)
+               .toArray();
+      long[] bytes = ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(ids);
+      for (int i = 0; i < ids.length; i++) {
+         if (bytes[i] >= 0) {
+            allocated.put(ids[i], bytes[i]);
+         }
+      }
+      return allocated;
+   }
+
+   /**
+    * Allocation of threads started in between counts from 0, threads which died in between are lost
+    */
+   private static long allocatedSince(Map<Long, Long> before) {
+      if (before == null) {
+         return 0;
+      }
+      long sum = 0;
+      for (Map.Entry<Long, Long> after : allocatedBytes().entrySet()) {
+         sum += after.getValue() - before.getOrDefault(after.getKey(), 0L);
+      }
+      return sum;
+   }
+}
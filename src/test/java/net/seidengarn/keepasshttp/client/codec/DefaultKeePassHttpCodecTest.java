@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * test for the default codec
+ *
+ * @author Ralf Seidengarn
+ */
+public class DefaultKeePassHttpCodecTest {
+
+   private final DefaultKeePassHttpCodec codec = new DefaultKeePassHttpCodec();
+
+   @Test
+   public void testEncodeRequest() {
+      KeePassHttpRequest request = new KeePassHttpRequest();
+      request.setRequestType("test-associate");
+      request.setId("Test \"Key\"\\1");
+      request.setNonce("QVFJREJBVUdCd2dKQ2dzTQ==");
+
+      assertEquals("{\"RequestType\":\"test-associate\",\"Id\":\"Test \\\"Key\\\"\\\\1\","
+               + "\"Nonce\":\"QVFJREJBVUdCd2dKQ2dzTQ==\"}", codec.encodeRequest(request));
+   }
+
+   @Test
+   public void testDecodeResponse() throws IOException {
+      String json = "{ \"Count\": 2, \"Entries\": [ {\"Login\": \"bG9naW4=\", \"Name\": \"n\\u00e4me\", "
+               + "\"Password\": \"cA==\", \"StringFields\": null, \"Uuid\": \"dQ==\"}, {\"Login\": \"\", "
+               + "\"Name\": \"a\\\"b\", \"Password\": \"\", \"Uuid\": \"\"} ], \"RequestType\": \"get-logins\", "
+               + "\"Success\": true, \"Id\": \"Test Key\", \"Hash\": \"abc\", \"Version\": \"1.8.4.2\", "
+               + "\"Nonce\": \"bm9uY2U=\", \"Verifier\": \"dmVyaWZpZXI=\", \"Objects\": {\"a\": [1, 2.5, false]}}";
+
+      KeePassHttpResponse response = codec.decodeResponse(json);
+      assertEquals("get-logins", response.getRequestType());
+      assertTrue(response.getSuccess());
+      assertEquals("Test Key", response.getId());
+      assertEquals("bm9uY2U=", response.getNonce());
+      assertEquals("dmVyaWZpZXI=", response.getVerifier());
+      assertEquals(2, response.getEntries().size());
+      assertEquals("n\u00e4me", response.getEntries().get(0).getName());
+      assertEquals("bG9naW4=", response.getEntries().get(0).getLogin());
+      assertEquals("cA==", response.getEntries().get(0).getPassword());
+      assertEquals("dQ==", response.getEntries().get(0).getUuid());
+      assertEquals("a\"b", response.getEntries().get(1).getName());
+   }
+
+   @Test
+   public void testDecodeResponseNotSuccessful() throws IOException {
+      KeePassHttpResponse response = codec.decodeResponse("{\"Success\":\"false\",\"Entries\":null}");
+      assertFalse(response.getSuccess());
+      assertEquals(0, response.getEntries().size());
+
+      assertNull(codec.decodeResponse("{\"RequestType\":\"get-logins\"}").getSuccess());
+   }
+
+   @Test(expected = IOException.class)
+   public void testDecodeResponseInvalid() throws IOException {
+      codec.decodeResponse("{\"Success\":true,");
+   }
+
+   @Test
+   public void testStoredKey() throws IOException {
+      StoredKey storedKey = new StoredKey();
+      storedKey.setId("Test Key");
+      storedKey.setKey("QVFJREJBVUdCd2dKQ2dzTQ==");
+
+      StoredKey decoded = codec.decodeStoredKey(codec.encodeStoredKey(storedKey));
+      assertEquals("Test Key", decoded.getId());
+      assertEquals("QVFJREJBVUdCd2dKQ2dzTQ==", decoded.getKey());
+   }
+
+}
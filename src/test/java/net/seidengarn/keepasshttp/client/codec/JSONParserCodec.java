@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.codec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.seidengarn.json.JSONParser;
+
+/**
+ * codec based on the generic JSONParser as used by the connector up to version 1.5, kept as baseline for the
+ * KeePassHttpCodecBenchmark
+ *
+ * @author Ralf Seidengarn
+ */
+public class JSONParserCodec implements KeePassHttpCodec {
+
+   @Override
+   public String encodeRequest(KeePassHttpRequest request) {
+      Map<String, Object> map = new HashMap<>();
+      put(map, "RequestType", request.getRequestType());
+      put(map, "Id", request.getId());
+      put(map, "Key", request.getKey());
+      put(map, "Nonce", request.getNonce());
+      put(map, "Verifier", request.getVerifier());
+      put(map, "Url", request.getUrl());
+      put(map, "SubmitUrl", request.getSubmitUrl());
+      return JSONParser.compose(map);
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public KeePassHttpResponse decodeResponse(String json) {
+      Map<String, Object> map = (Map<String, Object>) JSONParser.parse(json);
+      if (map == null) {
+         return null;
+      }
+      KeePassHttpResponse response = new KeePassHttpResponse();
+      response.setRequestType((String) map.get("RequestType"));
+      response.setSuccess(map.get("Success") == null ? null : "true".equals(map.get("Success")));
+      response.setId((String) map.get("Id"));
+      response.setNonce((String) map.get("Nonce"));
+      response.setVerifier((String) map.get("Verifier"));
+
+      List<KeePassHttpEntry> entries = new ArrayList<>();
+      if (map.get("Entries") != null) {
+         for (Object entryObject : (List<Object>) map.get("Entries")) {
+            Map<String, Object> entryMap = (Map<String, Object>) entryObject;
+            KeePassHttpEntry entry = new KeePassHttpEntry();
+            entry.setName((String) entryMap.get("Name"));
+            entry.setLogin((String) entryMap.get("Login"));
+            entry.setPassword((String) entryMap.get("Password"));
+            entry.setUuid((String) entryMap.get("Uuid"));
+            entries.add(entry);
+         }
+      }
+      response.setEntries(entries);
+      return response;
+   }
+
+   @Override
+   public String encodeStoredKey(StoredKey storedKey) {
+      Map<String, Object> map = new HashMap<>();
+      map.put("Key", storedKey.getKey());
+      map.put("Id", storedKey.getId());
+      return JSONParser.compose(map);
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public StoredKey decodeStoredKey(String json) {
+      Map<String, Object> map = (Map<String, Object>) JSONParser.parse(json);
+      StoredKey storedKey = new StoredKey();
+      storedKey.setId((String) map.get("Id"));
+      storedKey.setKey((String) map.get("Key"));
+      return storedKey;
+   }
+
+   private static void put(Map<String, Object> map, String name, String value) {
+      if (value != null) {
+         map.put(name, value);
+      }
+   }
+}
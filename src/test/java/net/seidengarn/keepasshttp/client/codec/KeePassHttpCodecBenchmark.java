@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.codec;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import net.seidengarn.json.JSONParser;
+
+/**
+ * Compares the DefaultKeePassHttpCodec with the JSONParserCodec by decoding a get-logins response with a large
+ * Entries array. Prints the mean time and the allocated bytes per decoded response.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=net.seidengarn.keepasshttp.client.codec.KeePassHttpCodecBenchmark \
+ *     -Dexec.args="--entries=10000 --iterations=200"
+ * </pre>
+ *
+ * @author Ralf Seidengarn
+ */
+public class KeePassHttpCodecBenchmark {
+
+   public static void main(String[] args) throws Exception {
+      int entries = 10000;
+      int iterations = 200;
+      for (String arg : args) {
+         if (arg.startsWith("--entries=")) {
+            entries = Integer.parseInt(arg.substring("--entries=".length()));
+         } else if (arg.startsWith("--iterations=")) {
+            iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+         }
+      }
+      String json = response(entries);
+      System.out.printf("entries: %d, response: %d chars%n", entries, json.length());
+
+      KeePassHttpCodec[] codecs = { new JSONParserCodec(), new DefaultKeePassHttpCodec() };
+      for (KeePassHttpCodec codec : codecs) {
+         // warm-up
+         run(codec, json, iterations);
+      }
+      for (KeePassHttpCodec codec : codecs) {
+         long allocatedBefore = allocatedBytes();
+         long start = System.nanoTime();
+         int decoded = run(codec, json, iterations);
+         long nanos = System.nanoTime() - start;
+         long allocated = allocatedBytes() - allocatedBefore;
+         if (decoded != entries * iterations) {
+            throw new IllegalStateException(codec.getClass().getSimpleName() + " decoded " + decoded + " entries");
+         }
+         System.out.printf("%s: %.3f ms/op, %d bytes/op%n", codec.getClass().getSimpleName(),
+                  nanos / 1e6 / iterations, allocated / iterations);
+      }
+   }
+
+   private static int run(KeePassHttpCodec codec, String json, int iterations) throws Exception {
+      int decoded = 0;
+      for (int i = 0; i < iterations; i++) {
+         decoded += codec.decodeResponse(json).getEntries().size();
+      }
+      return decoded;
+   }
+
+   private static String response(int count) {
+      List<Object> entries = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         Map<String, Object> entry = new HashMap<>();
+         entry.put("Name", randomBase64(32));
+         entry.put("Login", randomBase64(16));
+         entry.put("Password", randomBase64(32));
+         entry.put("Uuid", randomBase64(48));
+         entries.add(entry);
+      }
+      Map<String, Object> map = new HashMap<>();
+      map.put("RequestType", "get-logins");
+      map.put("Success", "true");
+      map.put("Id", "Test Key");
+      map.put("Count", String.valueOf(count));
+      map.put("Nonce", randomBase64(16));
+      map.put("Verifier", randomBase64(32));
+      map.put("Entries", entries);
+      return JSONParser.compose(map);
+   }
+
+   private static String randomBase64(int length) {
+      byte[] bytes = new byte[length];
+      ThreadLocalRandom.current().nextBytes(bytes);
+      return Base64.getEncoder().encodeToString(bytes);
+   }
+
+   private static long allocatedBytes() {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+         return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+      return 0;
+   }
+}
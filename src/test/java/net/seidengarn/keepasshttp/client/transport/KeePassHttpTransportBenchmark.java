@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.transport;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.seidengarn.keepasshttp.client.FakeKeePassHttpServer;
+
+/**
+ * Compares the HttpClientTransport with the SocketChannelTransport against the FakeKeePassHttpServer. Prints the
+ * latency percentiles of single requests and the mean time per request when sent pipelined in batches. TCP_NODELAY
+ * is enabled on the server, otherwise Nagle's algorithm dominates the latency of both transports.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=net.seidengarn.keepasshttp.client.transport.KeePassHttpTransportBenchmark \
+ *     -Dexec.args="--requests=20000 --batch=16"
+ * </pre>
+ *
+ * @author Ralf Seidengarn
+ */
+public class KeePassHttpTransportBenchmark {
+
+   private static final String TEST_ASSOCIATE = "{\"RequestType\":\"test-associate\",\"Id\":\"unknown\"}";
+
+   public static void main(String[] args) throws Exception {
+      int requests = 20000;
+      int batch = 16;
+      for (String arg : args) {
+         if (arg.startsWith("--requests=")) {
+            requests = Integer.parseInt(arg.substring("--requests=".length()));
+         } else if (arg.startsWith("--batch=")) {
+            batch = Integer.parseInt(arg.substring("--batch=".length()));
+         }
+      }
+
+      FakeKeePassHttpServer.enableNoDelay();
+      try (FakeKeePassHttpServer server = new FakeKeePassHttpServer("Test Key", "QVFJREJBVUdCd2dKQ2dzTQ==", 1, 1)) {
+         int port = server.getPort();
+         KeePassHttpTransport[] transports = { new HttpClientTransport(URI.create("http://localhost:" + port)),
+                  new SocketChannelTransport(port) };
+         for (KeePassHttpTransport transport : transports) {
+            // warm-up
+            single(transport, requests / 4);
+         }
+         for (KeePassHttpTransport transport : transports) {
+            long[] latencies = single(transport, requests);
+            Arrays.sort(latencies);
+            System.out.printf("%s single: p50 %.1f us, p99 %.1f us, p999 %.1f us%n",
+                     transport.getClass().getSimpleName(), percentile(latencies, 0.5), percentile(latencies, 0.99),
+                     percentile(latencies, 0.999));
+
+            List<String> bodies = Collections.nCopies(batch, TEST_ASSOCIATE);
+            long start = System.nanoTime();
+            for (int i = 0; i < requests / batch; i++) {
+               transport.sendAll(bodies, true);
+            }
+            System.out.printf("%s batch of %d: %.1f us/request%n", transport.getClass().getSimpleName(), batch,
+                     (System.nanoTime() - start) / 1e3 / (requests / batch * batch));
+            transport.close();
+         }
+      }
+   }
+
+   private static long[] single(KeePassHttpTransport transport, int requests) throws Exception {
+      List<Long> latencies = new ArrayList<>(requests);
+      for (int i = 0; i < requests; i++) {
+         long start = System.nanoTime();
+         if (transport.send(TEST_ASSOCIATE, true).getStatusCode() != 200) {
+            throw new IllegalStateException("unexpected response");
+         }
+         latencies.add(System.nanoTime() - start);
+      }
+      return latencies.stream().mapToLong(Long::longValue).toArray();
+   }
+
+   private static double percentile(long[] sorted, double percentile) {
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(index, 0)] / 1e3;
+   }
+}
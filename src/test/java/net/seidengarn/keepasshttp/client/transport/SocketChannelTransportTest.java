@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.seidengarn.keepasshttp.client.FakeKeePassHttpServer;
+import net.seidengarn.keepasshttp.client.KeePassHttpConnector;
+import net.seidengarn.keepasshttp.client.exception.KeePassHttpException;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * test for the SocketChannelTransport against the FakeKeePassHttpServer and the StubHttpServer
+ *
+ * @author Ralf Seidengarn
+ */
+public class SocketChannelTransportTest {
+
+   private static final String ID = "Test Key 128bit";
+   private static final String KEY = "QVFJREJBVUdCd2dKQ2dzTQ==";
+   private static final String TEST_ASSOCIATE = "{\"RequestType\":\"test-associate\",\"Id\":\"unknown\"}";
+
+   @Test
+   public void testSend() throws IOException {
+      try (FakeKeePassHttpServer server = new FakeKeePassHttpServer(ID, KEY, 1, 1);
+               SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         for (int i = 0; i < 3; i++) {
+            TransportResponse response = transport.send(TEST_ASSOCIATE, true);
+            assertEquals(200, response.getStatusCode());
+            assertTrue(response.getBody().contains("\"Success\":\"false\""));
+         }
+      }
+   }
+
+   @Test
+   public void testSendAll() throws IOException {
+      try (FakeKeePassHttpServer server = new FakeKeePassHttpServer(ID, KEY, 1, 1);
+               SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         List<TransportResponse> responses = transport.sendAll(Arrays.asList(TEST_ASSOCIATE, TEST_ASSOCIATE,
+                  TEST_ASSOCIATE), true);
+         assertEquals(3, responses.size());
+         for (TransportResponse response : responses) {
+            assertEquals(200, response.getStatusCode());
+         }
+      }
+   }
+
+   @Test
+   public void testConnector() throws IOException, KeePassHttpException {
+      try (FakeKeePassHttpServer server = new FakeKeePassHttpServer(ID, KEY, 200, 1);
+               SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         KeePassHttpConnector connector = new KeePassHttpConnector(ID, KEY);
+         connector.setTransport(transport);
+
+         assertEquals(200, connector.getLogins("http://www.example.com/", null).size());
+         assertEquals("user1", connector.getLogins("http://www.example.com/", null).get(1).getLogin());
+      }
+   }
+
+   @Test(timeout = 20000)
+   public void testUnixDomainSocket() throws Exception {
+      Assume.assumeTrue("Unix domain sockets require Java 16 or newer", Runtime.version().feature() >= 16);
+      Path directory = Files.createTempDirectory("keepasshttp");
+      Path socket = directory.resolve("proxy.sock");
+      try (FakeKeePassHttpServer server = new FakeKeePassHttpServer(ID, KEY, 2, 1)) {
+         ServerSocketChannel proxy = openUnixDomainProxy(socket, server.getPort());
+         try (SocketChannelTransport transport = SocketChannelTransport.unixDomain(socket, server.getPort())) {
+            KeePassHttpConnector connector = new KeePassHttpConnector(ID, KEY);
+            connector.setTransport(transport);
+
+            assertEquals(2, connector.getLogins("http://www.example.com/", null).size());
+            assertEquals("user1", connector.getLogins("http://www.example.com/", null).get(1).getLogin());
+         } finally {
+            proxy.close();
+         }
+      } finally {
+         Files.deleteIfExists(socket);
+         Files.delete(directory);
+      }
+   }
+
+   @Test(timeout = 10000)
+   public void testIdleConnectionClosedIsReopened() throws Exception {
+      try (StubHttpServer server = new StubHttpServer(SocketChannelTransportTest::closeFirstConnectionWhenIdle);
+               SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         assertEquals("a", transport.send("a", true).getBody());
+         server.awaitClosed(1);
+
+         assertEquals("b", transport.send("b", true).getBody());
+         assertEquals(2, server.getConnections());
+      }
+   }
+
+   @Test(timeout = 10000)
+   public void testNotIdempotentRequestIsNotSentAgain() throws Exception {
+      try (StubHttpServer server = new StubHttpServer(SocketChannelTransportTest::closeFirstConnectionWhenIdle);
+               SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         assertEquals("a", transport.send("a", true).getBody());
+         server.awaitClosed(1);
+
+         try {
+            transport.send("b", false);
+            fail("IOException expected");
+         } catch (IOException e) {
+            // expected, the request must not be sent again
+         }
+         assertEquals(1, server.getConnections());
+         assertEquals(1, server.getRequests());
+      }
+   }
+
+   @Test(timeout = 10000)
+   public void testNoRetryAfterPartialResponse() throws Exception {
+      try (StubHttpServer server = new StubHttpServer((connection, c) -> {
+         c.write(StubHttpServer.response(c.readRequest()));
+         c.readRequest();
+         c.write("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nabc");
+      }); SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         assertEquals("a", transport.send("a", true).getBody());
+         try {
+            transport.send("b", true);
+            fail("IOException expected");
+         } catch (IOException e) {
+            // expected, the server has already started to answer
+         }
+         assertEquals(1, server.getConnections());
+         assertEquals(2, server.getRequests());
+      }
+   }
+
+   @Test(timeout = 10000)
+   public void testConnectionCloseInPipelinedBatch() throws Exception {
+      try (StubHttpServer server = new StubHttpServer((connection, c) -> {
+         if (connection == 0) {
+            c.write(StubHttpServer.response(c.readRequest(), "Connection: close"));
+            c.closeGracefully();
+         } else {
+            echo(c);
+         }
+      }); SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         List<TransportResponse> responses = transport.sendAll(Arrays.asList("a", "b", "c"), false);
+         assertEquals("a", responses.get(0).getBody());
+         assertEquals("b", responses.get(1).getBody());
+         assertEquals("c", responses.get(2).getBody());
+         assertEquals(2, server.getConnections());
+         assertEquals(3, server.getRequests());
+      }
+   }
+
+   @Test(timeout = 10000)
+   public void testChunkedBody() throws Exception {
+      try (StubHttpServer server = new StubHttpServer((connection, c) -> {
+         while (c.readRequest() != null) {
+            c.write("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n5;name=value\r\nhello\r\n"
+                     + "7\r\n, world\r\n0\r\nTrailer: ignored\r\n\r\n");
+         }
+      }); SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         assertEquals("hello, world", transport.send("a", true).getBody());
+         assertEquals("hello, world", transport.send("b", true).getBody());
+         assertEquals(1, server.getConnections());
+      }
+   }
+
+   @Test(timeout = 10000)
+   public void testBodyUntilEndOfStream() throws Exception {
+      try (StubHttpServer server = new StubHttpServer((connection, c) -> {
+         c.readRequest();
+         c.write("HTTP/1.0 200 OK\r\nContent-Type: application/json\r\n\r\nuntil the end");
+      }); SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         assertEquals("until the end", transport.send("a", false).getBody());
+         assertEquals("until the end", transport.send("b", false).getBody());
+         assertEquals(2, server.getConnections());
+      }
+   }
+
+   @Test(timeout = 10000)
+   public void testLargeResponse() throws Exception {
+      String large = String.join("", Collections.nCopies(100000, "0123456789"));
+      try (StubHttpServer server = new StubHttpServer((connection, c) -> {
+         String request;
+         while ((request = c.readRequest()) != null) {
+            c.write(StubHttpServer.response("large".equals(request) ? large : request));
+         }
+      }); SocketChannelTransport transport = new SocketChannelTransport(server.getPort())) {
+         assertEquals(large, transport.send("large", true).getBody());
+         assertEquals("small", transport.send("small", true).getBody());
+         assertEquals(1, server.getConnections());
+      }
+   }
+
+   /**
+    * Answers the first request on the first connection and closes it, answers all requests on further connections
+    */
+   private static void closeFirstConnectionWhenIdle(int connection, StubHttpServer.Connection c) throws IOException {
+      if (connection == 0) {
+         c.write(StubHttpServer.response(c.readRequest()));
+      } else {
+         echo(c);
+      }
+   }
+
+   /**
+    * Opens a Unix domain socket forwarding every connection to the loopback port, created by reflection because the
+    * sources are compiled for Java 11
+    */
+   private static ServerSocketChannel openUnixDomainProxy(Path socket, int port) throws Exception {
+      ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+      ServerSocketChannel proxy = (ServerSocketChannel) ServerSocketChannel.class
+               .getMethod("open", ProtocolFamily.class).invoke(null, unix);
+      proxy.bind((SocketAddress) Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class)
+               .invoke(null, socket));
+      Thread acceptor = new Thread(() -> {
+         try {
+            while (true) {
+               SocketChannel client = proxy.accept();
+               SocketChannel target = SocketChannel.open(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+               forward(client, target);
+               forward(target, client);
+            }
+         } catch (IOException e) {
+            // proxy closed
+         }
+      });
+      acceptor.setDaemon(true);
+      acceptor.start();
+      return proxy;
+   }
+
+   private static void forward(SocketChannel from, SocketChannel to) {
+      Thread forwarder = new Thread(() -> {
+         ByteBuffer buffer = ByteBuffer.allocate(8192);
+         try (from; to) {
+            while (from.read(buffer) >= 0) {
+               buffer.flip();
+               while (buffer.hasRemaining()) {
+                  to.write(buffer);
+               }
+               buffer.clear();
+            }
+         } catch (IOException e) {
+            // one side closed the connection
+         }
+      });
+      forwarder.setDaemon(true);
+      forwarder.start();
+   }
+
+   private static void echo(StubHttpServer.Connection c) throws IOException {
+      String request;
+      while ((request = c.readRequest()) != null) {
+         c.write(StubHttpServer.response(request));
+      }
+   }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Ralf Seidengarn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.seidengarn.keepasshttp.client.transport;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP server on a raw ServerSocketChannel whose behaviour is scripted per connection, to test how the
+ * SocketChannelTransport handles closed connections and the different kinds of response bodies
+ *
+ * @author Ralf Seidengarn
+ */
+class StubHttpServer implements AutoCloseable {
+
+   /**
+    * Behaviour of the server on one connection, the connection is closed when the script returns
+    */
+   interface Script {
+      void run(int connection, Connection c) throws IOException;
+   }
+
+   private final ServerSocketChannel server;
+   private final AtomicInteger connections = new AtomicInteger();
+   private final AtomicInteger requests = new AtomicInteger();
+   private final Semaphore closed = new Semaphore(0);
+
+   StubHttpServer(Script script) throws IOException {
+      server = ServerSocketChannel.open();
+      server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      Thread acceptor = new Thread(() -> {
+         try {
+            while (true) {
+               SocketChannel channel = server.accept();
+               int connection = connections.getAndIncrement();
+               Thread handler = new Thread(() -> {
+                  try (SocketChannel c = channel) {
+                     script.run(connection, new Connection(c));
+                  } catch (IOException e) {
+                     // the client went away, nothing to do
+                  } finally {
+                     closed.release();
+                  }
+               });
+               handler.setDaemon(true);
+               handler.start();
+            }
+         } catch (IOException e) {
+            // server closed
+         }
+      });
+      acceptor.setDaemon(true);
+      acceptor.start();
+   }
+
+   int getPort() {
+      return ((InetSocketAddress) server.socket().getLocalSocketAddress()).getPort();
+   }
+
+   int getConnections() {
+      return connections.get();
+   }
+
+   int getRequests() {
+      return requests.get();
+   }
+
+   /**
+    * Waits until the server has closed the given number of connections
+    */
+   void awaitClosed(int count) throws InterruptedException {
+      if (!closed.tryAcquire(count, 5, TimeUnit.SECONDS)) {
+         throw new IllegalStateException("connections not closed");
+      }
+   }
+
+   @Override
+   public void close() throws IOException {
+      server.close();
+   }
+
+   /**
+    * @return a complete response with Content-Length and the given additional headers
+    */
+   static String response(String body, String... headers) {
+      StringBuilder sb = new StringBuilder("HTTP/1.1 200 OK\r\n");
+      for (String header : headers) {
+         sb.append(header).append("\r\n");
+      }
+      return sb.append("Content-Length: ").append(body.getBytes(StandardCharsets.UTF_8).length).append("\r\n\r\n")
+               .append(body).toString();
+   }
+
+   class Connection {
+      private final SocketChannel channel;
+      private final InputStream in;
+
+      Connection(SocketChannel channel) {
+         this.channel = channel;
+         this.in = new BufferedInputStream(Channels.newInputStream(channel));
+      }
+
+      /**
+       * @return body of the next request or null if the client closed the connection
+       */
+      String readRequest() throws IOException {
+         String requestLine = readLine();
+         if (requestLine == null) {
+            return null;
+         }
+         int contentLength = 0;
+         for (String header = readLine(); header != null && !header.isEmpty(); header = readLine()) {
+            if (header.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+               contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+            }
+         }
+         byte[] body = in.readNBytes(contentLength);
+         requests.incrementAndGet();
+         return new String(body, StandardCharsets.UTF_8);
+      }
+
+      void write(String data) throws IOException {
+         ByteBuffer buffer = ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8));
+         while (buffer.hasRemaining()) {
+            channel.write(buffer);
+         }
+      }
+
+      /**
+       * Closes the output and waits for the client to close the connection, so unread requests don't cause a reset
+       */
+      void closeGracefully() throws IOException {
+         channel.shutdownOutput();
+         while (in.read() >= 0) {
+            continue;
+         }
+      }
+
+      private String readLine() throws IOException {
+         ByteArrayOutputStream line = new ByteArrayOutputStream();
+         int b;
+         while ((b = in.read()) >= 0 && b != '\n') {
+            if (b != '\r') {
+               line.write(b);
+            }
+         }
+         return b < 0 && line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1.name());
+      }
+   }
+}